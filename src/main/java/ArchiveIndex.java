@@ -0,0 +1,151 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Index of archived projects, so they can be listed and restored without opening the archives.
+ * One line per archive: {@code name<TAB>language<TAB>lastModified<TAB>archiveFileName}.
+ * Updates use the same lock-file and atomic rename scheme as {@link ConfigStore}.
+ */
+public class ArchiveIndex {
+    private final Path directory;
+    private final Path file;
+    private final Path lockFile;
+
+    static class Entry {
+        final ProjectInfo project;
+        final Path archive;
+
+        Entry(ProjectInfo project, Path archive) {
+            this.project = project;
+            this.archive = archive;
+        }
+    }
+
+    private interface Change {
+        void apply(List<Entry> entries) throws IOException;
+    }
+
+    ArchiveIndex(Path directory) {
+        this.directory = directory;
+        this.file = directory.resolve("index");
+        this.lockFile = directory.resolve("index.lock");
+    }
+
+    /**
+     * Claims {@code name} for a new archive by creating its (empty) archive file under the index lock, so
+     * two concurrent archives of the same project cannot both proceed.
+     */
+    Path reserve(String name) throws IOException {
+        Path archive = directory.resolve(name + ".tar.gz");
+        Files.createDirectories(directory);
+
+        try (FileChannel channel = openLockFile()) {
+            // Released when the channel is closed
+            channel.lock();
+            requireUnused(entries(), name);
+            Files.createFile(archive);
+        } catch (FileAlreadyExistsException e) {
+            throw new IOException("Archive file already exists: " + archive);
+        }
+        return archive;
+    }
+
+    List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 4) {
+                    continue;
+                }
+                try {
+                    ProjectInfo project = new ProjectInfo(fields[0], LocalDateTime.parse(fields[2]), fields[1]);
+                    entries.add(new Entry(project, directory.resolve(fields[3])));
+                } catch (DateTimeParseException e) {
+                    // Skip hand-edited lines
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Nothing archived yet
+        } catch (IOException e) {
+            System.err.println("Failed to read archive index: " + e.getMessage());
+        }
+        return entries;
+    }
+
+    Entry find(String name) {
+        for (Entry entry : entries()) {
+            if (entry.project.name.equals(name)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    void add(Entry entry) throws IOException {
+        String name = entry.project.name;
+        if (name.indexOf('\t') >= 0 || name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+            throw new IOException("Project name must not contain tabs or line breaks");
+        }
+        update(entries -> {
+            requireUnused(entries, name);
+            entries.add(entry);
+        });
+    }
+
+    void remove(String name) throws IOException {
+        update(entries -> entries.removeIf(entry -> entry.project.name.equals(name)));
+    }
+
+    private void update(Change change) throws IOException {
+        Files.createDirectories(directory);
+
+        try (FileChannel channel = openLockFile()) {
+            // Released when the channel is closed
+            channel.lock();
+            List<Entry> entries = entries();
+            change.apply(entries);
+
+            StringBuilder content = new StringBuilder();
+            for (Entry entry : entries) {
+                content.append(entry.project.name).append('\t')
+                        .append(entry.project.language).append('\t')
+                        .append(entry.project.lastModified).append('\t')
+                        .append(entry.archive.getFileName()).append('\n');
+            }
+
+            Path temp = Files.createTempFile(directory, "index", ".tmp");
+            try {
+                Files.writeString(temp, content, StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private FileChannel openLockFile() throws IOException {
+        return FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private static void requireUnused(List<Entry> entries, String name) throws IOException {
+        for (Entry entry : entries) {
+            if (entry.project.name.equals(name)) {
+                throw new IOException("An archive named '" + name + "' already exists");
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Versioned configuration shared by every running instance.
+ * <p>
+ * Writers hold an exclusive {@link FileLock} on a sidecar {@code .lock} file while they read the latest
+ * revision and replace the config through a temp file and an atomic rename, so concurrent updates are
+ * serialized and readers never see a torn file. The current snapshot is cached in memory and refreshed
+ * by {@link #watch()} when another process replaces the file.
+ * <p>
+ * The first line repeats the workspace path bare, as in the legacy single-line format, so older builds
+ * still find their workspace; the {@code key=value} settings that follow are authoritative. A file written by a newer format
+ * version is read as far as it is understood but never overwritten.
+ */
+public class ConfigStore {
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path file;
+    private final Path lockFile;
+    private final String defaultWorkspace;
+    private final List<Consumer<Snapshot>> listeners = new CopyOnWriteArrayList<>();
+    private volatile Snapshot current;
+
+    static class Snapshot {
+        final long version;
+        final long revision;
+        final String workspacePath;
+
+        Snapshot(long version, long revision, String workspacePath) {
+            this.version = version;
+            this.revision = revision;
+            this.workspacePath = workspacePath;
+        }
+    }
+
+    ConfigStore(Path file, String defaultWorkspace) {
+        this.file = file.toAbsolutePath();
+        this.lockFile = Paths.get(this.file + ".lock");
+        this.defaultWorkspace = defaultWorkspace;
+        this.current = read();
+    }
+
+    Snapshot current() {
+        return current;
+    }
+
+    void addListener(Consumer<Snapshot> listener) {
+        listeners.add(listener);
+    }
+
+    synchronized void setWorkspacePath(String workspacePath) throws IOException {
+        if (workspacePath.indexOf('\n') >= 0 || workspacePath.indexOf('\r') >= 0) {
+            throw new IOException("Workspace path must not contain line breaks");
+        }
+
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Released when the channel is closed
+            channel.lock();
+            Snapshot latest = read();
+            if (latest.version > FORMAT_VERSION) {
+                throw new IOException("Configuration was written by a newer version (format " + latest.version +
+                        "); not overwriting " + file);
+            }
+            Snapshot updated = new Snapshot(FORMAT_VERSION, latest.revision + 1, workspacePath);
+            write(updated);
+            publish(updated);
+        }
+    }
+
+    void watch() {
+        Thread watcher = new Thread(this::watchLoop, "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watchLoop() {
+        try (WatchService watchService = file.getFileSystem().newWatchService()) {
+            file.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    publish(read());
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to watch configuration: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void publish(Snapshot snapshot) {
+        Snapshot previous = current;
+        if (snapshot.revision < previous.revision
+                || snapshot.revision == previous.revision && snapshot.workspacePath.equals(previous.workspacePath)) {
+            return;
+        }
+
+        current = snapshot;
+        for (Consumer<Snapshot> listener : listeners) {
+            listener.accept(snapshot);
+        }
+    }
+
+    private Snapshot read() {
+        long version = FORMAT_VERSION;
+        long revision = 0;
+        String workspacePath = null;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            boolean first = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+
+                int separator = line.indexOf('=');
+                String key = separator < 0 ? "" : line.substring(0, separator).trim();
+                if (first && !isKey(key)) {
+                    // The workspace path on its own line, which is all a legacy file holds
+                    workspacePath = line;
+                    first = false;
+                    continue;
+                }
+                first = false;
+                if (separator < 0) {
+                    continue;
+                }
+
+                String value = line.substring(separator + 1);
+                switch (key) {
+                    case "version" -> version = parseNumber(value, FORMAT_VERSION);
+                    case "revision" -> revision = parseNumber(value, 0);
+                    case "workspace" -> workspacePath = value;
+                    default -> {
+                        // Unknown keys from newer versions are ignored
+                    }
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // First run
+        } catch (IOException e) {
+            System.err.println("Failed to read configuration: " + e.getMessage());
+        }
+
+        if (workspacePath == null || workspacePath.isBlank()) {
+            workspacePath = defaultWorkspace;
+        }
+        return new Snapshot(version, revision, workspacePath);
+    }
+
+    private void write(Snapshot snapshot) throws IOException {
+        String content = snapshot.workspacePath + "\n" +
+                "version=" + snapshot.version + "\n" +
+                "revision=" + snapshot.revision + "\n" +
+                "workspace=" + snapshot.workspacePath + "\n";
+
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static boolean isKey(String key) {
+        return key.equals("version") || key.equals("revision") || key.equals("workspace");
+    }
+
+    private static long parseNumber(String value, long fallback) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
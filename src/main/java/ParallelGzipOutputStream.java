@@ -0,0 +1,134 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip output compressed on all cores. Input is cut into fixed-size blocks and every block becomes its
+ * own gzip member; concatenated members are a valid gzip file that {@code gzip -d}, {@code tar -xz} and
+ * {@link java.util.zip.GZIPInputStream} all read back as one stream.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+    private static final int BLOCK_SIZE = 1 << 20;
+
+    private final OutputStream out;
+    private final ExecutorService executor;
+    private final int maxInFlight;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private byte[] block = new byte[BLOCK_SIZE];
+    private int position;
+    private boolean closed;
+
+    ParallelGzipOutputStream(OutputStream out) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        this.out = out;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "gzip-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxInFlight = threads * 2;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (position == BLOCK_SIZE) {
+            submitBlock();
+        }
+        block[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (position == BLOCK_SIZE) {
+                submitBlock();
+            }
+            int count = Math.min(length, BLOCK_SIZE - position);
+            System.arraycopy(bytes, offset, block, position, count);
+            position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Reads {@code size} bytes from {@code channel} directly into the pending block, skipping the
+     * intermediate buffer a stream copy would need.
+     */
+    void writeFrom(FileChannel channel, long size) throws IOException {
+        long remaining = size;
+        while (remaining > 0) {
+            if (position == BLOCK_SIZE) {
+                submitBlock();
+            }
+            int count = (int) Math.min(remaining, BLOCK_SIZE - position);
+            int read = channel.read(ByteBuffer.wrap(block, position, count));
+            if (read < 0) {
+                throw new IOException("File shrank while archiving");
+            }
+            position += read;
+            remaining -= read;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (position > 0) {
+                submitBlock();
+            }
+            while (!pending.isEmpty()) {
+                writeOldest();
+            }
+        } finally {
+            executor.shutdownNow();
+            out.close();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        byte[] data = block;
+        int length = position;
+        pending.add(executor.submit(() -> compress(data, length)));
+
+        block = new byte[BLOCK_SIZE];
+        position = 0;
+
+        if (pending.size() >= maxInFlight) {
+            writeOldest();
+        }
+    }
+
+    private void writeOldest() throws IOException {
+        try {
+            out.write(pending.removeFirst().get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Compression failed", e.getCause());
+        }
+    }
+
+    private static byte[] compress(byte[] data, int length) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer, 8192)) {
+            gzip.write(data, 0, length);
+        }
+        return buffer.toByteArray();
+    }
+}
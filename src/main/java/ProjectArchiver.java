@@ -0,0 +1,657 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Packs project directories into {@code .tar.gz} archives and unpacks them again.
+ * <p>
+ * Archives are plain POSIX (pax) tarballs rooted at the project directory name, so they can also be
+ * inspected or extracted with {@code tar -xzf}. Files matched by the project's {@code .gitignore} are
+ * left out of the archive and are never deleted: only the paths returned in {@link Result#archived}
+ * are removed after archiving, and restoring merges back into a directory holding such leftovers.
+ */
+public class ProjectArchiver {
+    private static final int RECORD_SIZE = 512;
+    private static final long MAX_OCTAL_SIZE = 077777777777L;
+    private static final boolean POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+    static class Result {
+        final List<Path> archived = new ArrayList<>();
+        final List<Path> ignored = new ArrayList<>();
+    }
+
+    private static class Directories {
+        final List<Path> paths = new ArrayList<>();
+        final List<Integer> modes = new ArrayList<>();
+        final List<FileTime> times = new ArrayList<>();
+    }
+
+    static Result archive(Path project, Path archiveFile) throws IOException {
+        IgnoreRules ignore = IgnoreRules.load(project.resolve(".gitignore"));
+        String root = project.getFileName().toString();
+        Result result = new Result();
+
+        Path temp = Files.createTempFile(archiveFile.getParent(), archiveFile.getFileName().toString(), ".tmp");
+        try {
+            try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                Files.walkFileTree(project, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                        String relative = relativize(project, dir);
+                        if (!relative.isEmpty() && ignore.matches(relative, true)) {
+                            result.ignored.add(dir);
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+
+                        String name = relative.isEmpty() ? root + "/" : root + "/" + relative + "/";
+                        writeHeader(out, name, '5', 0, mode(dir, 0755), attrs.lastModifiedTime(), null);
+                        result.archived.add(dir);
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                        String relative = relativize(project, file);
+                        if (ignore.matches(relative, false)) {
+                            result.ignored.add(file);
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        String name = root + "/" + relative;
+                        if (attrs.isSymbolicLink()) {
+                            String link = Files.readSymbolicLink(file).toString();
+                            writeHeader(out, name, '2', 0, 0777, attrs.lastModifiedTime(), link);
+                            result.archived.add(file);
+                        } else if (attrs.isRegularFile()) {
+                            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                                long size = channel.size();
+                                writeHeader(out, name, '0', size, mode(file, 0644), attrs.lastModifiedTime(), null);
+                                out.writeFrom(channel, size);
+                                writePadding(out, size);
+                            }
+                            result.archived.add(file);
+                        } else {
+                            result.ignored.add(file);
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+
+                out.write(new byte[RECORD_SIZE * 2]);
+            }
+            Files.move(temp, archiveFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return result;
+    }
+
+    static void removeArchived(Result result) throws IOException {
+        // Read-only directories (a Go module cache, say) need write access before their entries can go
+        Map<Path, Set<PosixFilePermission>> readOnly = new HashMap<>();
+        for (Path path : result.archived) {
+            if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                Set<PosixFilePermission> original = makeWritable(path);
+                if (original != null) {
+                    readOnly.put(path, original);
+                }
+            }
+        }
+
+        try {
+            // Reverse walk order removes children before their directories
+            for (int i = result.archived.size() - 1; i >= 0; i--) {
+                try {
+                    Files.deleteIfExists(result.archived.get(i));
+                } catch (DirectoryNotEmptyException e) {
+                    // Still holds ignored files, which were not archived
+                }
+            }
+        } finally {
+            for (Map.Entry<Path, Set<PosixFilePermission>> entry : readOnly.entrySet()) {
+                if (Files.isDirectory(entry.getKey(), LinkOption.NOFOLLOW_LINKS)) {
+                    Files.setPosixFilePermissions(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    static void restore(Path archiveFile, Path target) throws IOException {
+        restore(archiveFile, target, false);
+    }
+
+    /**
+     * Puts back whatever part of the archive is missing from {@code target}, leaving existing files alone.
+     * Used to undo a {@link #removeArchived} that failed halfway.
+     */
+    static void restoreMissing(Path archiveFile, Path target) throws IOException {
+        restore(archiveFile, target, true);
+    }
+
+    private static void restore(Path archiveFile, Path target, boolean keepExisting) throws IOException {
+        boolean merge = Files.exists(target, LinkOption.NOFOLLOW_LINKS);
+        if (merge && !Files.isDirectory(target, LinkOption.NOFOLLOW_LINKS)) {
+            throw new IOException("Not a directory: " + target);
+        }
+
+        String root = target.getFileName().toString();
+        Path staging = target.resolveSibling("." + root + ".restoring");
+        deleteRecursively(staging);
+        Files.createDirectories(staging);
+
+        Directories directories;
+        Map<Path, Set<PosixFilePermission>> existing = new HashMap<>();
+        try {
+            directories = extract(archiveFile, staging, root);
+            if (merge) {
+                // Ignored files left behind at archive time are still there
+                if (!keepExisting) {
+                    checkMergeConflicts(staging, target);
+                }
+                mergeInto(staging, target, existing);
+                deleteRecursively(staging);
+            } else {
+                Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            deleteRecursively(staging);
+            throw e;
+        }
+
+        // Modes last: a read-only directory must stay writable until everything inside it is in place
+        for (int i = directories.paths.size() - 1; i >= 0; i--) {
+            Path directory = target.resolve(staging.relativize(directories.paths.get(i)));
+            if (existing.containsKey(directory)) {
+                // Kept at archive time; only undo what the merge changed
+                if (existing.get(directory) != null) {
+                    Files.setPosixFilePermissions(directory, existing.get(directory));
+                }
+            } else if (Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+                Files.setLastModifiedTime(directory, directories.times.get(i));
+                setMode(directory, directories.modes.get(i));
+            }
+        }
+    }
+
+    static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+
+        Files.walkFileTree(path, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                if (exc != null) {
+                    throw exc;
+                }
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static void checkMergeConflicts(Path staging, Path target) throws IOException {
+        List<String> conflicts = new ArrayList<>();
+
+        Files.walkFileTree(staging, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                Path existing = target.resolve(staging.relativize(dir));
+                if (Files.exists(existing, LinkOption.NOFOLLOW_LINKS)
+                        && !Files.isDirectory(existing, LinkOption.NOFOLLOW_LINKS)) {
+                    conflicts.add(target.relativize(existing).toString());
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                Path existing = target.resolve(staging.relativize(file));
+                if (Files.exists(existing, LinkOption.NOFOLLOW_LINKS)) {
+                    conflicts.add(target.relativize(existing).toString());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        if (!conflicts.isEmpty()) {
+            throw new IOException("Restoring would overwrite existing files in " + target + ": " +
+                    String.join(", ", conflicts.subList(0, Math.min(conflicts.size(), 5))) +
+                    (conflicts.size() > 5 ? " (+" + (conflicts.size() - 5) + " more)" : ""));
+        }
+    }
+
+    private static void mergeInto(Path staging, Path target, Map<Path, Set<PosixFilePermission>> existing)
+            throws IOException {
+        Files.walkFileTree(staging, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Path destination = target.resolve(staging.relativize(dir));
+                if (Files.isDirectory(destination, LinkOption.NOFOLLOW_LINKS)) {
+                    existing.put(destination, makeWritable(destination));
+                    return FileVisitResult.CONTINUE;
+                }
+                if (Files.exists(destination, LinkOption.NOFOLLOW_LINKS)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                Files.move(dir, destination);
+                return FileVisitResult.SKIP_SUBTREE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path destination = target.resolve(staging.relativize(file));
+                if (!Files.exists(destination, LinkOption.NOFOLLOW_LINKS)) {
+                    Files.move(file, destination);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static Directories extract(Path archiveFile, Path staging, String root) throws IOException {
+        List<Path> links = new ArrayList<>();
+        List<String> linkTargets = new ArrayList<>();
+        Directories directories = new Directories();
+
+        try (InputStream in = new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(archiveFile), 1 << 16), 1 << 16)) {
+            byte[] header = new byte[RECORD_SIZE];
+            byte[] buffer = new byte[1 << 16];
+            Map<String, String> pax = new HashMap<>();
+
+            while (readRecord(in, header) && !isZero(header)) {
+                char type = (char) header[156];
+                long size = pax.containsKey("size") ? Long.parseLong(pax.get("size")) : parseOctal(header, 124, 12);
+
+                if (type == 'x') {
+                    pax = parsePax(readBytes(in, size));
+                    skipPadding(in, size);
+                    continue;
+                }
+                if (type == 'g') {
+                    in.skipNBytes(size);
+                    skipPadding(in, size);
+                    continue;
+                }
+
+                String name = pax.containsKey("path") ? pax.get("path") : headerName(header);
+                String link = pax.containsKey("linkpath") ? pax.get("linkpath") : readString(header, 157, 100);
+                pax = new HashMap<>();
+
+                Path path = resolveEntry(staging, root, name);
+                int mode = (int) parseOctal(header, 100, 8);
+                FileTime mtime = FileTime.fromMillis(parseOctal(header, 136, 12) * 1000);
+
+                switch (type) {
+                    case '5' -> {
+                        Files.createDirectories(path);
+                        directories.paths.add(path);
+                        directories.modes.add(mode);
+                        directories.times.add(mtime);
+                    }
+                    case '2' -> {
+                        links.add(path);
+                        linkTargets.add(link);
+                    }
+                    case '0', '\0', '7' -> {
+                        Files.createDirectories(path.getParent());
+                        try (OutputStream out = Files.newOutputStream(path, StandardOpenOption.CREATE_NEW,
+                                StandardOpenOption.WRITE)) {
+                            long remaining = size;
+                            while (remaining > 0) {
+                                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                                if (read < 0) {
+                                    throw new EOFException("Truncated archive: " + archiveFile);
+                                }
+                                out.write(buffer, 0, read);
+                                remaining -= read;
+                            }
+                        }
+                        skipPadding(in, size);
+                        setMode(path, mode);
+                        Files.setLastModifiedTime(path, mtime);
+                    }
+                    default -> {
+                        in.skipNBytes(size);
+                        skipPadding(in, size);
+                    }
+                }
+            }
+        }
+
+        // Links are created last so no entry can be written through one, and never below another link
+        for (int i = 0; i < links.size(); i++) {
+            requireNoLinkAncestors(staging, links.get(i));
+            Files.createDirectories(links.get(i).getParent());
+            Files.createSymbolicLink(links.get(i), Paths.get(linkTargets.get(i)));
+        }
+        return directories;
+    }
+
+    private static void requireNoLinkAncestors(Path staging, Path path) throws IOException {
+        for (Path parent = path.getParent(); parent != null && !parent.equals(staging); parent = parent.getParent()) {
+            if (Files.isSymbolicLink(parent)) {
+                throw new IOException("Unsafe archive entry below a symbolic link: " + staging.relativize(path));
+            }
+        }
+    }
+
+    private static Path resolveEntry(Path staging, String root, String name) throws IOException {
+        String trimmed = name.endsWith("/") ? name.substring(0, name.length() - 1) : name;
+        if (trimmed.equals(root)) {
+            return staging;
+        }
+        if (!trimmed.startsWith(root + "/")) {
+            throw new IOException("Unexpected archive entry: " + name);
+        }
+
+        Path path = staging.resolve(trimmed.substring(root.length() + 1)).normalize();
+        if (!path.startsWith(staging) || path.equals(staging)) {
+            throw new IOException("Unsafe archive entry: " + name);
+        }
+        return path;
+    }
+
+    private static void writeHeader(OutputStream out, String name, char type, long size, int mode,
+                                    FileTime mtime, String link) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] linkBytes = link == null ? new byte[0] : link.getBytes(StandardCharsets.UTF_8);
+
+        StringBuilder pax = new StringBuilder();
+        if (nameBytes.length > 100) {
+            appendPaxRecord(pax, "path", name);
+        }
+        if (linkBytes.length > 100) {
+            appendPaxRecord(pax, "linkpath", link);
+        }
+        if (size > MAX_OCTAL_SIZE) {
+            appendPaxRecord(pax, "size", Long.toString(size));
+        }
+        if (!pax.isEmpty()) {
+            byte[] records = pax.toString().getBytes(StandardCharsets.UTF_8);
+            out.write(header("././@PaxHeader".getBytes(StandardCharsets.US_ASCII), 'x', records.length, 0644, 0,
+                    new byte[0]));
+            out.write(records);
+            writePadding(out, records.length);
+        }
+
+        out.write(header(nameBytes, type, size > MAX_OCTAL_SIZE ? 0 : size, mode, mtime.toMillis() / 1000, linkBytes));
+    }
+
+    private static byte[] header(byte[] name, char type, long size, int mode, long mtime, byte[] link) {
+        byte[] header = new byte[RECORD_SIZE];
+        System.arraycopy(name, 0, header, 0, Math.min(name.length, 100));
+        writeOctal(header, 100, 8, mode & 07777);
+        writeOctal(header, 108, 8, 0);
+        writeOctal(header, 116, 8, 0);
+        writeOctal(header, 124, 12, size);
+        writeOctal(header, 136, 12, Math.max(0, mtime));
+        header[156] = (byte) type;
+        System.arraycopy(link, 0, header, 157, Math.min(link.length, 100));
+        System.arraycopy("ustar\0".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 6);
+        header[263] = '0';
+        header[264] = '0';
+
+        for (int i = 148; i < 156; i++) {
+            header[i] = ' ';
+        }
+        long checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xFF;
+        }
+        writeOctal(header, 148, 7, checksum);
+        return header;
+    }
+
+    private static void appendPaxRecord(StringBuilder pax, String key, String value) {
+        int length = (" " + key + "=" + value + "\n").getBytes(StandardCharsets.UTF_8).length;
+        int total = length + Integer.toString(length).length();
+        if (Integer.toString(total).length() > Integer.toString(length).length()) {
+            total++;
+        }
+        pax.append(total).append(' ').append(key).append('=').append(value).append('\n');
+    }
+
+    private static Map<String, String> parsePax(byte[] records) {
+        Map<String, String> values = new HashMap<>();
+        int position = 0;
+        while (position < records.length) {
+            int space = position;
+            while (space < records.length && records[space] != ' ') {
+                space++;
+            }
+            int length = Integer.parseInt(new String(records, position, space - position, StandardCharsets.US_ASCII));
+            String record = new String(records, space + 1, length - (space - position) - 2, StandardCharsets.UTF_8);
+            int equals = record.indexOf('=');
+            if (equals > 0) {
+                values.put(record.substring(0, equals), record.substring(equals + 1));
+            }
+            position += length;
+        }
+        return values;
+    }
+
+    private static void writeOctal(byte[] header, int offset, int length, long value) {
+        String octal = Long.toOctalString(value);
+        int digits = length - 1;
+        for (int i = 0; i < digits; i++) {
+            int index = octal.length() - digits + i;
+            header[offset + i] = (byte) (index < 0 ? '0' : octal.charAt(index));
+        }
+        header[offset + digits] = 0;
+    }
+
+    private static long parseOctal(byte[] header, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = header[i];
+            if (b >= '0' && b <= '7') {
+                value = value * 8 + (b - '0');
+            } else if (b == 0 || (b == ' ' && value > 0)) {
+                break;
+            }
+        }
+        return value;
+    }
+
+    private static String headerName(byte[] header) {
+        String name = readString(header, 0, 100);
+        String prefix = readString(header, 345, 155);
+        boolean ustar = header[257] == 'u' && header[258] == 's' && header[259] == 't';
+        return ustar && !prefix.isEmpty() ? prefix + "/" + name : name;
+    }
+
+    private static String readString(byte[] header, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static boolean readRecord(InputStream in, byte[] record) throws IOException {
+        int read = in.readNBytes(record, 0, RECORD_SIZE);
+        if (read == 0) {
+            return false;
+        }
+        if (read < RECORD_SIZE) {
+            throw new EOFException("Truncated archive header");
+        }
+        return true;
+    }
+
+    private static boolean isZero(byte[] record) {
+        for (byte b : record) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] readBytes(InputStream in, long size) throws IOException {
+        byte[] bytes = in.readNBytes((int) size);
+        if (bytes.length < size) {
+            throw new EOFException("Truncated archive");
+        }
+        return bytes;
+    }
+
+    private static void skipPadding(InputStream in, long size) throws IOException {
+        in.skipNBytes(padding(size));
+    }
+
+    private static void writePadding(OutputStream out, long size) throws IOException {
+        out.write(new byte[padding(size)]);
+    }
+
+    private static int padding(long size) {
+        return (int) ((RECORD_SIZE - size % RECORD_SIZE) % RECORD_SIZE);
+    }
+
+    private static String relativize(Path base, Path path) {
+        return base.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    private static int mode(Path path, int fallback) throws IOException {
+        if (!POSIX) {
+            return fallback;
+        }
+
+        int mode = 0;
+        for (PosixFilePermission permission : Files.getPosixFilePermissions(path, LinkOption.NOFOLLOW_LINKS)) {
+            mode |= 0400 >> permission.ordinal();
+        }
+        return mode;
+    }
+
+    private static void setMode(Path path, int mode) throws IOException {
+        if (!POSIX || mode == 0) {
+            return;
+        }
+
+        Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+        for (PosixFilePermission permission : PosixFilePermission.values()) {
+            if ((mode & (0400 >> permission.ordinal())) != 0) {
+                permissions.add(permission);
+            }
+        }
+        Files.setPosixFilePermissions(path, permissions);
+    }
+
+    /**
+     * Gives the owner write and search access to {@code directory}, returning the permissions it had
+     * before, or {@code null} if nothing had to change.
+     */
+    private static Set<PosixFilePermission> makeWritable(Path directory) throws IOException {
+        if (!POSIX) {
+            return null;
+        }
+
+        Set<PosixFilePermission> original = Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS);
+        Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+        permissions.addAll(original);
+        permissions.add(PosixFilePermission.OWNER_WRITE);
+        permissions.add(PosixFilePermission.OWNER_EXECUTE);
+        if (permissions.equals(original)) {
+            return null;
+        }
+        Files.setPosixFilePermissions(directory, permissions);
+        return original;
+    }
+
+    private static class IgnoreRules {
+        private final List<Rule> rules = new ArrayList<>();
+
+        private static class Rule {
+            final PathMatcher matcher;
+            final boolean directoryOnly;
+            final boolean anchored;
+
+            Rule(PathMatcher matcher, boolean directoryOnly, boolean anchored) {
+                this.matcher = matcher;
+                this.directoryOnly = directoryOnly;
+                this.anchored = anchored;
+            }
+        }
+
+        static IgnoreRules load(Path gitignore) throws IOException {
+            IgnoreRules ignore = new IgnoreRules();
+            if (!Files.isRegularFile(gitignore)) {
+                return ignore;
+            }
+
+            for (String line : Files.readAllLines(gitignore, StandardCharsets.UTF_8)) {
+                String pattern = line.strip();
+                // Negations are not supported; keeping those files is the safe default
+                if (pattern.isEmpty() || pattern.startsWith("#") || pattern.startsWith("!")) {
+                    continue;
+                }
+
+                boolean directoryOnly = pattern.endsWith("/");
+                if (directoryOnly) {
+                    pattern = pattern.substring(0, pattern.length() - 1);
+                }
+                boolean anchored = pattern.contains("/");
+                if (pattern.startsWith("/")) {
+                    pattern = pattern.substring(1);
+                }
+                if (pattern.isEmpty()) {
+                    continue;
+                }
+
+                PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+                ignore.rules.add(new Rule(matcher, directoryOnly, anchored));
+            }
+            return ignore;
+        }
+
+        boolean matches(String relative, boolean directory) {
+            Path path = Paths.get(relative);
+            for (Rule rule : rules) {
+                if (rule.directoryOnly && !directory) {
+                    continue;
+                }
+                if (rule.matcher.matches(rule.anchored ? path : path.getFileName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
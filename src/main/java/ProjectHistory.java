@@ -0,0 +1,175 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Frecency scores for opened projects, kept in an append-only log.
+ * <p>
+ * Every line is {@code score<TAB>epochSeconds<TAB>path}. An open is appended as a line with score 1,
+ * and compaction rewrites the log with one merged line per project. Both kinds of line fold the same
+ * way, so loading only costs one pass over the (bounded) file. Projects whose score has decayed
+ * away are dropped on compaction.
+ * <p>
+ * Appends hold a shared lock on a sidecar {@code .lock} file and compaction holds it exclusively while it
+ * re-reads the log, so opens recorded by other terminals are never lost to the rewrite.
+ */
+public class ProjectHistory {
+    private static final long HALF_LIFE_SECONDS = 7 * 24 * 60 * 60;
+    private static final int COMPACT_SLACK = 64;
+    private static final double MIN_SCORE = 0.01;
+
+    private final Path file;
+    private final Path lockFile;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private int lineCount;
+
+    private ProjectHistory(Path file) {
+        this.file = file.toAbsolutePath();
+        this.lockFile = Paths.get(this.file + ".lock");
+    }
+
+    static ProjectHistory load(Path file) {
+        ProjectHistory history = new ProjectHistory(file);
+        try {
+            history.read();
+        } catch (IOException e) {
+            System.err.println("Failed to read project history: " + e.getMessage());
+        }
+        return history;
+    }
+
+    double score(Path project, long nowSeconds) {
+        Entry entry = entries.get(key(project));
+        if (entry == null) {
+            return 0;
+        }
+        return entry.decayedTo(nowSeconds);
+    }
+
+    void recordOpen(Path project, long nowSeconds) {
+        String path = key(project);
+        if (path.indexOf('\n') >= 0) {
+            return;
+        }
+
+        merge(path, 1, nowSeconds);
+
+        try {
+            try (FileChannel channel = FileChannel.open(lockFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // Shared so concurrent appends don't wait on each other; released when the channel is closed
+                channel.lock(0, Long.MAX_VALUE, true);
+                Files.writeString(file, format(1, nowSeconds, path), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            lineCount++;
+            if (lineCount > entries.size() * 2 + COMPACT_SLACK) {
+                compact(nowSeconds);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to update project history: " + e.getMessage());
+        }
+    }
+
+    private void compact(long nowSeconds) throws IOException {
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Released when the channel is closed
+            channel.lock();
+
+            // Other terminals may have appended since this instance loaded the log
+            entries.clear();
+            lineCount = 0;
+            read();
+            entries.values().removeIf(entry -> entry.decayedTo(nowSeconds) < MIN_SCORE);
+
+            StringBuilder content = new StringBuilder();
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                content.append(format(e.getValue().score, e.getValue().lastOpened, e.getKey()));
+            }
+
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                Files.writeString(temp, content, StandardCharsets.UTF_8);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            lineCount = entries.size();
+        }
+    }
+
+    private void read() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineCount++;
+                fold(line);
+            }
+        } catch (NoSuchFileException e) {
+            // No history yet
+        }
+    }
+
+    private void fold(String line) {
+        int first = line.indexOf('\t');
+        int second = first < 0 ? -1 : line.indexOf('\t', first + 1);
+        if (second < 0) {
+            return;
+        }
+
+        try {
+            double score = Double.parseDouble(line.substring(0, first));
+            long lastOpened = Long.parseLong(line.substring(first + 1, second));
+            merge(line.substring(second + 1), score, lastOpened);
+        } catch (NumberFormatException e) {
+            // Skip torn or hand-edited lines
+        }
+    }
+
+    private void merge(String path, double score, long lastOpened) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            entries.put(path, new Entry(score, lastOpened));
+        } else if (lastOpened >= entry.lastOpened) {
+            entry.score = entry.decayedTo(lastOpened) + score;
+            entry.lastOpened = lastOpened;
+        } else {
+            entry.score += score * decay(entry.lastOpened - lastOpened);
+        }
+    }
+
+    private static String key(Path project) {
+        return project.toAbsolutePath().normalize().toString();
+    }
+
+    private static String format(double score, long lastOpened, String path) {
+        return score + "\t" + lastOpened + "\t" + path + "\n";
+    }
+
+    private static double decay(long elapsedSeconds) {
+        return Math.pow(0.5, (double) Math.max(0, elapsedSeconds) / HALF_LIFE_SECONDS);
+    }
+
+    private static class Entry {
+        double score;
+        long lastOpened;
+
+        Entry(double score, long lastOpened) {
+            this.score = score;
+            this.lastOpened = lastOpened;
+        }
+
+        double decayedTo(long nowSeconds) {
+            return score * decay(nowSeconds - lastOpened);
+        }
+    }
+}
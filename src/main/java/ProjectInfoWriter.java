@@ -0,0 +1,229 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Streams {@link ProjectInfo} records in a machine-readable format. Records are encoded straight into
+ * a reusable byte buffer, so writing a record allocates nothing beyond what the caller passes in.
+ * The buffer is flushed at a record boundary once it is full or {@link #FLUSH_INTERVAL_NANOS} has
+ * passed; callers scanning for records call {@link #maybeFlush()} between candidates, so a slow scan
+ * still shows up downstream promptly.
+ */
+public class ProjectInfoWriter implements Closeable {
+    enum Format {
+        JSONL, TSV, NUL
+    }
+
+    private enum Escape {
+        JSON, TSV, RAW
+    }
+
+    private static final long FLUSH_INTERVAL_NANOS = 50_000_000L;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_NAME = "{\"name\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_PATH = "\",\"path\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_LANGUAGE = "\",\"language\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_LAST_MODIFIED = "\",\"lastModified\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_ARCHIVED = "\",\"archived\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_END = "}\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final Format format;
+    private final byte[] buffer = new byte[1 << 16];
+    private int position;
+    private long lastFlush = System.nanoTime();
+
+    ProjectInfoWriter(OutputStream out, Format format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    static Format parseFormat(String name) {
+        return switch (name.toLowerCase()) {
+            case "jsonl", "json" -> Format.JSONL;
+            case "tsv" -> Format.TSV;
+            case "nul", "null", "0" -> Format.NUL;
+            default -> throw new IllegalArgumentException("Unknown format: " + name + " (expected jsonl, tsv or nul)");
+        };
+    }
+
+    /**
+     * Writes one record. {@code path} is the project directory, or the archive file for an archived
+     * project; the NUL format lists only paths that can be opened, so it skips archived projects.
+     */
+    void write(ProjectInfo project, String path, boolean archived) throws IOException {
+        switch (format) {
+            case JSONL -> {
+                writeBytes(JSON_NAME);
+                writeString(project.name, Escape.JSON);
+                writeBytes(JSON_PATH);
+                writeString(path, Escape.JSON);
+                writeBytes(JSON_LANGUAGE);
+                writeString(project.language, Escape.JSON);
+                writeBytes(JSON_LAST_MODIFIED);
+                writeDateTime(project.lastModified);
+                writeBytes(JSON_ARCHIVED);
+                writeBytes(archived ? TRUE : FALSE);
+                writeBytes(JSON_END);
+            }
+            case TSV -> {
+                writeString(project.name, Escape.TSV);
+                writeByte('\t');
+                writeString(path, Escape.TSV);
+                writeByte('\t');
+                writeString(project.language, Escape.TSV);
+                writeByte('\t');
+                writeDateTime(project.lastModified);
+                writeByte('\t');
+                writeBytes(archived ? TRUE : FALSE);
+                writeByte('\n');
+            }
+            case NUL -> {
+                if (archived) {
+                    return;
+                }
+                writeString(path, Escape.RAW);
+                writeByte(0);
+            }
+        }
+
+        maybeFlush();
+    }
+
+    void maybeFlush() throws IOException {
+        if (position > 0 && System.nanoTime() - lastFlush >= FLUSH_INTERVAL_NANOS) {
+            flush();
+        }
+    }
+
+    void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        out.flush();
+        lastFlush = System.nanoTime();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void writeString(String value, Escape escape) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+
+            if (c < 0x80) {
+                writeAsciiChar(c, escape);
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                ensure(4);
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                writeByte('?');
+            } else {
+                ensure(3);
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void writeAsciiChar(char c, Escape escape) throws IOException {
+        switch (escape) {
+            case JSON -> {
+                switch (c) {
+                    case '"', '\\' -> writeEscaped(c);
+                    case '\n' -> writeEscaped('n');
+                    case '\r' -> writeEscaped('r');
+                    case '\t' -> writeEscaped('t');
+                    default -> {
+                        if (c < 0x20) {
+                            ensure(6);
+                            buffer[position++] = '\\';
+                            buffer[position++] = 'u';
+                            buffer[position++] = '0';
+                            buffer[position++] = '0';
+                            buffer[position++] = HEX[c >> 4];
+                            buffer[position++] = HEX[c & 0xF];
+                        } else {
+                            writeByte(c);
+                        }
+                    }
+                }
+            }
+            case TSV -> {
+                switch (c) {
+                    case '\\' -> writeEscaped('\\');
+                    case '\n' -> writeEscaped('n');
+                    case '\r' -> writeEscaped('r');
+                    case '\t' -> writeEscaped('t');
+                    default -> writeByte(c);
+                }
+            }
+            case RAW -> writeByte(c);
+        }
+    }
+
+    private void writeEscaped(char c) throws IOException {
+        ensure(2);
+        buffer[position++] = '\\';
+        buffer[position++] = (byte) c;
+    }
+
+    private void writeDateTime(LocalDateTime dateTime) throws IOException {
+        ensure(19);
+        writeDigits(dateTime.getYear(), 4);
+        buffer[position++] = '-';
+        writeDigits(dateTime.getMonthValue(), 2);
+        buffer[position++] = '-';
+        writeDigits(dateTime.getDayOfMonth(), 2);
+        buffer[position++] = 'T';
+        writeDigits(dateTime.getHour(), 2);
+        buffer[position++] = ':';
+        writeDigits(dateTime.getMinute(), 2);
+        buffer[position++] = ':';
+        writeDigits(dateTime.getSecond(), 2);
+    }
+
+    private void writeDigits(int value, int width) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += width;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeByte(int b) throws IOException {
+        ensure(1);
+        buffer[position++] = (byte) b;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -1,18 +1,29 @@
 import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
 @SuppressWarnings("unused")
 public class ProjectManager {
     private static final String CONFIG_FILE = System.getProperty("user.home") + "/.project_manager_config";
+    private static final String HISTORY_FILE = System.getProperty("user.home") + "/.project_manager_history";
+    private static final String ARCHIVE_DIR = System.getProperty("user.home") + "/.project_manager_archives";
     private static final String DEFAULT_WORKSPACE = System.getProperty("user.home") + "/Projects";
     private static final Scanner scanner = new Scanner(System.in);
 
@@ -54,19 +65,111 @@ public class ProjectManager {
     private static final String T_RIGHT = "├";
     private static final String T_LEFT = "┤";
 
-    private String workspacePath;
+    private volatile String workspacePath;
+    private ConfigStore config;
+    private Path cdFile;
+    private final ProjectHistory history;
+    private final ArchiveIndex archives;
 
     public ProjectManager() {
         loadConfig();
         ensureWorkspaceExists();
+        history = ProjectHistory.load(Paths.get(HISTORY_FILE));
+        archives = new ArchiveIndex(Paths.get(ARCHIVE_DIR));
     }
 
     public static void main(String[] args) {
+        Path cdFile = null;
+        String openQuery = null;
+        ProjectInfoWriter.Format listFormat = null;
+        String archiveName = null;
+        String restoreName = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--cd-file" -> {
+                    if (i + 1 >= args.length) {
+                        exitWithUsage("--cd-file requires a file argument");
+                    }
+                    cdFile = Paths.get(args[++i]);
+                }
+                case "--init" -> {
+                    String shell = i + 1 < args.length ? args[++i] : System.getenv("SHELL");
+                    try {
+                        System.out.print(ShellIntegration.wrapperFor(shell));
+                    } catch (IllegalArgumentException e) {
+                        exitWithUsage(e.getMessage());
+                    }
+                    return;
+                }
+                case "--open" -> openQuery = i + 1 < args.length ? args[++i] : "";
+                case "--format" -> {
+                    if (i + 1 >= args.length) {
+                        exitWithUsage("--format requires jsonl, tsv or nul");
+                    }
+                    try {
+                        listFormat = ProjectInfoWriter.parseFormat(args[++i]);
+                    } catch (IllegalArgumentException e) {
+                        exitWithUsage(e.getMessage());
+                    }
+                }
+                case "--archive", "--restore" -> {
+                    if (i + 1 >= args.length) {
+                        exitWithUsage(args[i] + " requires a project name");
+                    }
+                    if (args[i].equals("--archive")) {
+                        archiveName = args[++i];
+                    } else {
+                        restoreName = args[++i];
+                    }
+                }
+                default -> exitWithUsage("Unknown option: " + args[i]);
+            }
+        }
+
         ProjectManager pm = new ProjectManager();
+        pm.cdFile = cdFile;
+
+        if (listFormat != null) {
+            pm.streamProjects(listFormat);
+            return;
+        }
+
+        if (archiveName != null || restoreName != null) {
+            try {
+                if (archiveName != null) {
+                    Path archiveFile = pm.archive(archiveName);
+                    System.out.println(BOLD + GREEN + "✓ " + RESET + "Archived '" + archiveName + "' to " + archiveFile);
+                }
+                if (restoreName != null) {
+                    Path projectPath = pm.restore(restoreName);
+                    System.out.println(BOLD + GREEN + "✓ " + RESET + "Restored '" + restoreName + "' to " + projectPath);
+                }
+            } catch (IOException e) {
+                pm.showError(e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        if (openQuery != null) {
+            pm.quickOpen(openQuery);
+            return;
+        }
+
         pm.run();
     }
 
+    private static void exitWithUsage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: ProjectManager [--cd-file <file>] [--open <query> | --format jsonl|tsv|nul]\n" +
+                "       ProjectManager --archive <project> | --restore <project>\n" +
+                "       ProjectManager --init [bash|zsh|fish]");
+        System.exit(2);
+    }
+
     private void run() {
+        config.watch();
         clearScreen();
         showHeader();
 
@@ -88,6 +191,15 @@ public class ProjectManager {
                     changeWorkspace();
                     break;
                 case "4":
+                    quickOpenProject();
+                    break;
+                case "5":
+                    archiveProject();
+                    break;
+                case "6":
+                    restoreProject();
+                    break;
+                case "7":
                     showGoodbye();
                     return;
                 default:
@@ -125,7 +237,10 @@ public class ProjectManager {
         System.out.println(BOLD + WHITE + "│ " + GREEN + "1" + WHITE + " → " + RESET + "Show all projects");
         System.out.println(BOLD + WHITE + "│ " + GREEN + "2" + WHITE + " → " + RESET + "Create new project");
         System.out.println(BOLD + WHITE + "│ " + GREEN + "3" + WHITE + " → " + RESET + "Change workspace directory");
-        System.out.println(BOLD + WHITE + "│ " + RED + "4" + WHITE + " → " + RESET + "Exit");
+        System.out.println(BOLD + WHITE + "│ " + GREEN + "4" + WHITE + " → " + RESET + "Quick open project");
+        System.out.println(BOLD + WHITE + "│ " + GREEN + "5" + WHITE + " → " + RESET + "Archive project");
+        System.out.println(BOLD + WHITE + "│ " + GREEN + "6" + WHITE + " → " + RESET + "Restore archived project");
+        System.out.println(BOLD + WHITE + "│ " + RED + "7" + WHITE + " → " + RESET + "Exit");
         System.out.println(BOLD + WHITE + "│" + RESET);
         System.out.println(BOLD + WHITE + "└" + HORIZONTAL.repeat(31) + RESET);
         System.out.print("\n" + BOLD + CYAN + "❯ " + RESET + "Enter your choice: ");
@@ -141,34 +256,28 @@ public class ProjectManager {
         }
 
         File[] projects = workspace.listFiles(File::isDirectory);
-        if (projects == null || projects.length == 0) {
-            System.out.println(BOLD + PURPLE + "│ " + RESET + DIM + "No projects found in workspace.");
-            System.out.println(BOLD + PURPLE + "└" + HORIZONTAL.repeat(55) + RESET);
-            return;
-        }
-
         List<ProjectInfo> projectList = new ArrayList<>();
 
-        for (File project : projects) {
-            try {
-                Path projectPath = project.toPath();
-                BasicFileAttributes attrs = Files.readAttributes(projectPath, BasicFileAttributes.class);
-                LocalDateTime lastModified = LocalDateTime.ofInstant(
-                        attrs.lastModifiedTime().toInstant(),
-                        java.time.ZoneId.systemDefault()
-                );
-
-                if (isProjectDirectory(project)) {
-                    String language = detectProjectLanguage(project);
-                    projectList.add(new ProjectInfo(project.getName(), lastModified, language));
+        if (projects != null) {
+            for (File project : projects) {
+                try {
+                    ProjectInfo info = readProjectInfo(project.toPath());
+                    if (info != null) {
+                        projectList.add(info);
+                    }
+                } catch (IOException e) {
+                    System.err.println("Error reading project: " + project.getName());
                 }
-            } catch (IOException e) {
-                System.err.println("Error reading project: " + project.getName());
             }
         }
 
-        if (projectList.isEmpty()) {
-            System.out.println(BOLD + PURPLE + "│ " + RESET + DIM + "No valid projects found in workspace.");
+        List<ArchiveIndex.Entry> archived = archives.entries();
+
+        if (projectList.isEmpty() && archived.isEmpty()) {
+            String message = projects == null || projects.length == 0
+                    ? "No projects found in workspace."
+                    : "No valid projects found in workspace.";
+            System.out.println(BOLD + PURPLE + "│ " + RESET + DIM + message);
             System.out.println(BOLD + PURPLE + "└" + HORIZONTAL.repeat(55) + RESET);
             return;
         }
@@ -192,9 +301,97 @@ public class ProjectManager {
                     langColor + getProjectIcon(project.language) + " " + project.language);
         }
 
+        if (!archived.isEmpty()) {
+            System.out.println(BOLD + PURPLE + T_RIGHT + "─ Archived " + HORIZONTAL.repeat(51) + RESET);
+
+            for (ArchiveIndex.Entry entry : archived) {
+                String projectName = truncateString(entry.project.name);
+                String lastMod = entry.project.lastModified.format(formatter);
+
+                System.out.println(BOLD + PURPLE + "│ " + RESET + DIM + projectName +
+                        " ".repeat(31 - projectName.length()) + lastMod + " ".repeat(21 - lastMod.length()) +
+                        "📦 " + entry.project.language + RESET);
+            }
+        }
+
         System.out.println(BOLD + PURPLE + "└" + HORIZONTAL.repeat(62) + RESET);
 
-        System.out.println("\n" + BOLD + GREEN + "✓ " + RESET + "Found " + BOLD + projectList.size() + RESET + " projects");
+        System.out.println("\n" + BOLD + GREEN + "✓ " + RESET + "Found " + BOLD + projectList.size() + RESET + " projects" +
+                (archived.isEmpty() ? "" : DIM + " (+" + archived.size() + " archived)" + RESET));
+    }
+
+    private void streamProjects(ProjectInfoWriter.Format format) {
+        Path workspace = Paths.get(workspacePath);
+        if (!Files.isDirectory(workspace)) {
+            System.err.println("Workspace directory not found: " + workspacePath);
+            System.exit(1);
+        }
+
+        ProjectInfoWriter writer = new ProjectInfoWriter(new FileOutputStream(FileDescriptor.out), format);
+
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(workspace, Files::isDirectory)) {
+            for (Path projectPath : entries) {
+                try {
+                    // A match followed by many non-project directories must not sit in the buffer
+                    writer.maybeFlush();
+                } catch (IOException e) {
+                    System.exit(1);
+                }
+
+                ProjectInfo info;
+                try {
+                    info = readProjectInfo(projectPath);
+                } catch (IOException e) {
+                    System.err.println("Error reading project: " + projectPath.getFileName());
+                    continue;
+                }
+                if (info != null) {
+                    try {
+                        writer.write(info, projectPath.toAbsolutePath().toString(), false);
+                    } catch (IOException e) {
+                        // Downstream closed the pipe (e.g. `| head`); nothing left to write to
+                        System.exit(1);
+                    }
+                }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            closeQuietly(writer);
+            System.err.println("Failed to read workspace: " + e.getMessage());
+            System.exit(1);
+        }
+
+        try {
+            // Listed so scripts can find what --restore accepts
+            for (ArchiveIndex.Entry entry : archives.entries()) {
+                writer.write(entry.project, entry.archive.toAbsolutePath().toString(), true);
+            }
+            writer.close();
+        } catch (IOException e) {
+            System.exit(1);
+        }
+    }
+
+    private static void closeQuietly(ProjectInfoWriter writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // Already failing; the read error is the one worth reporting
+        }
+    }
+
+    private ProjectInfo readProjectInfo(Path projectPath) throws IOException {
+        File project = projectPath.toFile();
+        if (!isProjectDirectory(project)) {
+            return null;
+        }
+
+        BasicFileAttributes attrs = Files.readAttributes(projectPath, BasicFileAttributes.class);
+        LocalDateTime lastModified = LocalDateTime.ofInstant(
+                attrs.lastModifiedTime().toInstant(),
+                java.time.ZoneId.systemDefault()
+        );
+
+        return new ProjectInfo(project.getName(), lastModified, detectProjectLanguage(project));
     }
 
     private void createNewProject() {
@@ -293,13 +490,266 @@ public class ProjectManager {
             }
         }
 
-        workspacePath = newPath;
-        saveConfig();
-        System.out.println(BOLD + BLUE + "│ " + RESET + GREEN + "✓ Workspace changed to: " + CYAN + workspacePath + RESET);
+        if (!saveConfig(newPath)) {
+            System.out.println(BOLD + BLUE + "└" + HORIZONTAL.repeat(48) + RESET);
+            return;
+        }
+        System.out.println(BOLD + BLUE + "│ " + RESET + GREEN + "✓ Workspace changed to: " + CYAN + newPath + RESET);
         System.out.println(BOLD + BLUE + "│" + RESET);
         System.out.println(BOLD + BLUE + "└" + HORIZONTAL.repeat(48) + RESET);
     }
 
+    private void quickOpenProject() {
+        System.out.println(BOLD + CYAN + "┌─ Quick Open " + HORIZONTAL.repeat(30) + RESET);
+        System.out.println(BOLD + CYAN + "│" + RESET);
+
+        System.out.print(BOLD + CYAN + "│ " + RESET + BOLD + "Search: " + RESET);
+        String query = scanner.nextLine().trim();
+
+        List<File> matches = rankProjects(query);
+        if (matches.isEmpty()) {
+            System.out.println(BOLD + CYAN + "│ " + RESET + YELLOW + "⚠ No matching projects." + RESET);
+            List<String> archived = archivedMatches(query);
+            if (!archived.isEmpty()) {
+                System.out.println(BOLD + CYAN + "│ " + RESET + DIM + "📦 Archived: " + String.join(", ", archived) +
+                        " (restore from the main menu)" + RESET);
+            }
+            System.out.println(BOLD + CYAN + "└" + HORIZONTAL.repeat(43) + RESET);
+            return;
+        }
+
+        int shown = Math.min(matches.size(), 9);
+        System.out.println(BOLD + CYAN + "│" + RESET);
+        for (int i = 0; i < shown; i++) {
+            File project = matches.get(i);
+            String language = detectProjectLanguage(project);
+            System.out.println(BOLD + CYAN + "│ " + GREEN + (i + 1) + WHITE + " → " + RESET + project.getName() + " " +
+                    getLanguageColor(language) + getProjectIcon(language) + RESET);
+        }
+        System.out.println(BOLD + CYAN + "│" + RESET);
+
+        System.out.print(BOLD + CYAN + "│ " + RESET + BOLD + "Choice (Enter = 1): " + RESET);
+        String pick = scanner.nextLine().trim();
+
+        int index;
+        try {
+            index = pick.isEmpty() ? 0 : Integer.parseInt(pick) - 1;
+        } catch (NumberFormatException e) {
+            index = -1;
+        }
+        if (index < 0 || index >= shown) {
+            System.out.println(BOLD + CYAN + "│ " + RESET + RED + "✗ Invalid choice." + RESET);
+            System.out.println(BOLD + CYAN + "└" + HORIZONTAL.repeat(43) + RESET);
+            return;
+        }
+
+        System.out.println(BOLD + CYAN + "└" + HORIZONTAL.repeat(43) + RESET);
+        changeToProjectDirectory(matches.get(index).toPath());
+        System.exit(0);
+    }
+
+    private void quickOpen(String query) {
+        List<File> matches = rankProjects(query);
+        if (matches.isEmpty()) {
+            List<String> archived = archivedMatches(query);
+            showError("No project matches '" + query + "'." + (archived.isEmpty() ? "" :
+                    " Archived: " + String.join(", ", archived) + " (restore with --restore <name>)"));
+            System.exit(1);
+        }
+
+        File project = matches.getFirst();
+        System.out.println(BOLD + CYAN + "🚀 Opening " + WHITE + project.getName() + RESET);
+        changeToProjectDirectory(project.toPath());
+    }
+
+    private List<File> rankProjects(String query) {
+        String needle = query.toLowerCase();
+        long now = Instant.now().getEpochSecond();
+
+        List<File> matches = new ArrayList<>();
+        Map<File, Double> scores = new HashMap<>();
+        for (File project : listProjectDirectories()) {
+            if (matchesQuery(project.getName().toLowerCase(), needle)) {
+                matches.add(project);
+                scores.put(project, history.score(project.toPath(), now));
+            }
+        }
+
+        matches.sort(Comparator.comparingDouble((File project) -> scores.get(project)).reversed()
+                .thenComparing(project -> !project.getName().toLowerCase().contains(needle))
+                .thenComparing(File::getName));
+        return matches;
+    }
+
+    private List<String> archivedMatches(String query) {
+        String needle = query.toLowerCase();
+        List<String> names = new ArrayList<>();
+        for (ArchiveIndex.Entry entry : archives.entries()) {
+            if (matchesQuery(entry.project.name.toLowerCase(), needle)) {
+                names.add(entry.project.name);
+            }
+        }
+        return names;
+    }
+
+    private static boolean matchesQuery(String name, String query) {
+        int from = 0;
+        for (int i = 0; i < query.length(); i++) {
+            from = name.indexOf(query.charAt(i), from);
+            if (from < 0) {
+                return false;
+            }
+            from++;
+        }
+        return true;
+    }
+
+    private void archiveProject() {
+        System.out.println(BOLD + YELLOW + "┌─ Archive Project " + HORIZONTAL.repeat(30) + RESET);
+        System.out.println(BOLD + YELLOW + "│" + RESET);
+
+        System.out.print(BOLD + YELLOW + "│ " + RESET + BOLD + "Project Name: " + RESET);
+        String projectName = scanner.nextLine().trim();
+
+        if (projectName.isEmpty()) {
+            System.out.println(BOLD + YELLOW + "│ " + RESET + YELLOW + "⚠ Nothing archived." + RESET);
+            System.out.println(BOLD + YELLOW + "└" + HORIZONTAL.repeat(48) + RESET);
+            return;
+        }
+
+        System.out.println(BOLD + YELLOW + "│ " + RESET + DIM + "Files matched by .gitignore are not archived and stay in place." + RESET);
+        System.out.print(BOLD + YELLOW + "│ " + RESET + "Archive and remove the archived files from the workspace? (y/n): ");
+        if (!scanner.nextLine().trim().toLowerCase().startsWith("y")) {
+            System.out.println(BOLD + YELLOW + "│ " + RESET + RED + "✗ Operation cancelled." + RESET);
+            System.out.println(BOLD + YELLOW + "└" + HORIZONTAL.repeat(48) + RESET);
+            return;
+        }
+
+        System.out.println(BOLD + YELLOW + "└" + HORIZONTAL.repeat(48) + RESET);
+        System.out.println("\n" + BOLD + YELLOW + "📦 Archiving project..." + RESET);
+
+        try {
+            Path archiveFile = archive(projectName);
+            System.out.println(BOLD + GREEN + "✅ Project '" + WHITE + projectName + GREEN + "' archived to " +
+                    CYAN + archiveFile + RESET);
+        } catch (IOException e) {
+            showError("Error archiving project: " + e.getMessage());
+        }
+    }
+
+    private void restoreProject() {
+        System.out.println(BOLD + YELLOW + "┌─ Restore Project " + HORIZONTAL.repeat(30) + RESET);
+        System.out.println(BOLD + YELLOW + "│" + RESET);
+
+        List<ArchiveIndex.Entry> archived = archives.entries();
+        if (archived.isEmpty()) {
+            System.out.println(BOLD + YELLOW + "│ " + RESET + DIM + "No archived projects." + RESET);
+            System.out.println(BOLD + YELLOW + "└" + HORIZONTAL.repeat(48) + RESET);
+            return;
+        }
+
+        for (int i = 0; i < archived.size(); i++) {
+            ProjectInfo project = archived.get(i).project;
+            System.out.println(BOLD + YELLOW + "│ " + GREEN + (i + 1) + WHITE + " → " + RESET + project.name + " " +
+                    getLanguageColor(project.language) + getProjectIcon(project.language) + RESET);
+        }
+        System.out.println(BOLD + YELLOW + "│" + RESET);
+
+        System.out.print(BOLD + YELLOW + "│ " + RESET + BOLD + "Choice (1-" + archived.size() + "): " + RESET);
+        int index;
+        try {
+            index = Integer.parseInt(scanner.nextLine().trim()) - 1;
+        } catch (NumberFormatException e) {
+            index = -1;
+        }
+        if (index < 0 || index >= archived.size()) {
+            System.out.println(BOLD + YELLOW + "│ " + RESET + RED + "✗ Invalid choice." + RESET);
+            System.out.println(BOLD + YELLOW + "└" + HORIZONTAL.repeat(48) + RESET);
+            return;
+        }
+
+        System.out.println(BOLD + YELLOW + "└" + HORIZONTAL.repeat(48) + RESET);
+        System.out.println("\n" + BOLD + YELLOW + "📂 Restoring project..." + RESET);
+
+        String projectName = archived.get(index).project.name;
+        try {
+            Path projectPath = restore(projectName);
+            System.out.println(BOLD + GREEN + "✅ Project '" + WHITE + projectName + GREEN + "' restored to " +
+                    CYAN + projectPath + RESET);
+        } catch (IOException e) {
+            showError("Error restoring project: " + e.getMessage());
+        }
+    }
+
+    private Path archive(String projectName) throws IOException {
+        if (projectName.isEmpty() || projectName.equals(".") || projectName.equals("..") ||
+                projectName.contains("/") || projectName.contains(File.separator)) {
+            throw new IOException("Invalid project name: " + projectName);
+        }
+
+        Path projectPath = Paths.get(workspacePath, projectName);
+        if (!Files.isDirectory(projectPath, LinkOption.NOFOLLOW_LINKS)) {
+            throw new IOException("Project not found: " + projectPath);
+        }
+
+        ProjectInfo info = readProjectInfo(projectPath);
+        if (info == null) {
+            throw new IOException("Not a project directory: " + projectPath);
+        }
+
+        Path archiveFile = archives.reserve(projectName);
+        ProjectArchiver.Result result;
+        try {
+            result = ProjectArchiver.archive(projectPath, archiveFile);
+            archives.add(new ArchiveIndex.Entry(info, archiveFile));
+        } catch (IOException e) {
+            Files.deleteIfExists(archiveFile);
+            throw e;
+        }
+        try {
+            ProjectArchiver.removeArchived(result);
+        } catch (IOException e) {
+            // Put back what was already removed, so the workspace and the index agree again
+            try {
+                ProjectArchiver.restoreMissing(archiveFile, projectPath);
+            } catch (IOException restoreError) {
+                throw new IOException("Failed to remove " + projectPath + " (" + e.getMessage() +
+                        ") and to put back the removed files (" + restoreError.getMessage() +
+                        "); they are kept in " + archiveFile, e);
+            }
+            archives.remove(projectName);
+            Files.deleteIfExists(archiveFile);
+            throw new IOException("Failed to remove archived files, project left in place: " + e.getMessage(), e);
+        }
+
+        if (!result.ignored.isEmpty()) {
+            System.out.println(BOLD + YELLOW + "⚠ " + RESET + "Kept " + result.ignored.size() +
+                    " ignored path(s) that are not in the archive:");
+            for (int i = 0; i < Math.min(result.ignored.size(), 5); i++) {
+                System.out.println(DIM + "  " + projectPath.relativize(result.ignored.get(i)) + RESET);
+            }
+            if (result.ignored.size() > 5) {
+                System.out.println(DIM + "  ... and " + (result.ignored.size() - 5) + " more" + RESET);
+            }
+        }
+
+        return archiveFile;
+    }
+
+    private Path restore(String projectName) throws IOException {
+        ArchiveIndex.Entry entry = archives.find(projectName);
+        if (entry == null) {
+            throw new IOException("No archived project named '" + projectName + "'");
+        }
+
+        Path projectPath = Paths.get(workspacePath, projectName);
+        ProjectArchiver.restore(entry.archive, projectPath);
+        archives.remove(projectName);
+        Files.deleteIfExists(entry.archive);
+
+        return projectPath;
+    }
+
     private void showError(String message) {
         System.out.println(BOLD + RED + "┌─ Error " + HORIZONTAL.repeat(40) + RESET);
         System.out.println(BOLD + RED + "│ " + RESET + "❌ " + message);
@@ -346,9 +796,19 @@ public class ProjectManager {
     }
 
     private void changeToProjectDirectory(Path projectPath) {
-        try {
-            String absolutePath = projectPath.toAbsolutePath().toString();
+        String absolutePath = projectPath.toAbsolutePath().toString();
+        history.recordOpen(projectPath, Instant.now().getEpochSecond());
 
+        if (cdFile != null) {
+            try {
+                Files.writeString(cdFile, absolutePath);
+                return;
+            } catch (IOException e) {
+                System.err.println("Failed to write target directory to " + cdFile + ": " + e.getMessage());
+            }
+        }
+
+        try {
             System.setProperty("user.dir", absolutePath);
 
             String shell = System.getenv("SHELL");
@@ -360,7 +820,6 @@ public class ProjectManager {
             System.exit(exitCode);
 
         } catch (Exception e) {
-            String absolutePath = projectPath.toAbsolutePath().toString();
             System.setProperty("user.dir", absolutePath);
             System.out.println("Changed to project directory: " + absolutePath);
             System.err.println("Note: Terminal directory change may not persist after program exit.");
@@ -368,29 +827,14 @@ public class ProjectManager {
     }
 
     private static int getExitCode(String shell, String absolutePath) throws IOException, InterruptedException {
-        String[] command = getStrings(shell, absolutePath);
-
-        ProcessBuilder pb = new ProcessBuilder(command);
+        ProcessBuilder pb = new ProcessBuilder(shell);
+        pb.directory(new File(absolutePath));
         pb.inheritIO();
         Process process = pb.start();
 
         return process.waitFor();
     }
 
-    private static String[] getStrings(String shell, String absolutePath) {
-        String[] command;
-        if (shell.contains("bash")) {
-            command = new String[]{"/bin/bash", "-c", "cd '" + absolutePath + "' && exec bash"};
-        } else if (shell.contains("zsh")) {
-            command = new String[]{shell, "-c", "cd '" + absolutePath + "' && exec zsh"};
-        } else if (shell.contains("fish")) {
-            command = new String[]{shell, "-c", "cd '" + absolutePath + "'; exec fish"};
-        } else {
-            command = new String[]{shell, "-c", "cd '" + absolutePath + "' && exec " + shell};
-        }
-        return command;
-    }
-
     private Path createProjectStructure(String projectName, ProjectLanguage language, boolean initGit) throws IOException {
         Path projectPath = Paths.get(workspacePath, projectName);
 
@@ -678,6 +1122,19 @@ public class ProjectManager {
         }
     }
 
+    private List<File> listProjectDirectories() {
+        List<File> projects = new ArrayList<>();
+        File[] dirs = new File(workspacePath).listFiles(File::isDirectory);
+        if (dirs != null) {
+            for (File dir : dirs) {
+                if (isProjectDirectory(dir)) {
+                    projects.add(dir);
+                }
+            }
+        }
+        return projects;
+    }
+
     private boolean isProjectDirectory(File dir) {
         String[] projectFiles = {"pom.xml", "package.json", "pubspec.yaml", "go.mod",
                 "build.gradle", "Cargo.toml", "requirements.txt"};
@@ -722,34 +1179,32 @@ public class ProjectManager {
     }
 
     private void loadConfig() {
-        try {
-            Path configPath = Paths.get(CONFIG_FILE);
-            if (Files.exists(configPath)) {
-                List<String> lines = Files.readAllLines(configPath);
-                if (!lines.isEmpty()) {
-                    workspacePath = lines.getFirst();
-                } else {
-                    workspacePath = DEFAULT_WORKSPACE;
-                }
-            } else {
-                workspacePath = DEFAULT_WORKSPACE;
-            }
-        } catch (IOException e) {
-            workspacePath = DEFAULT_WORKSPACE;
-        }
+        config = new ConfigStore(Paths.get(CONFIG_FILE), DEFAULT_WORKSPACE);
+        workspacePath = config.current().workspacePath;
+        // Fires for this instance's own saves as well as for changes made by other processes
+        config.addListener(snapshot -> {
+            workspacePath = snapshot.workspacePath;
+            ensureWorkspaceExists(snapshot.workspacePath);
+        });
     }
 
-    private void saveConfig() {
+    private boolean saveConfig(String newWorkspacePath) {
         try {
-            Files.write(Paths.get(CONFIG_FILE), workspacePath.getBytes());
+            config.setWorkspacePath(newWorkspacePath);
+            return true;
         } catch (IOException e) {
-            System.err.println("Failed to save configuration: " + e.getMessage());
+            showError("Failed to save configuration: " + e.getMessage());
+            return false;
         }
     }
 
     private void ensureWorkspaceExists() {
+        ensureWorkspaceExists(workspacePath);
+    }
+
+    private void ensureWorkspaceExists(String path) {
         try {
-            Files.createDirectories(Paths.get(workspacePath));
+            Files.createDirectories(Paths.get(path));
         } catch (IOException e) {
             System.err.println("Failed to create workspace directory: " + e.getMessage());
         }
@@ -0,0 +1,91 @@
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class ShellIntegration {
+    static final String FUNCTION_NAME = "pm";
+
+    static String wrapperFor(String shell) {
+        String name = shell == null ? "" : new File(shell).getName();
+        String[] launch = launchCommand();
+
+        return switch (name) {
+            case "bash", "zsh" -> posixWrapper(launch);
+            case "fish" -> fishWrapper(launch);
+            default -> throw new IllegalArgumentException("Unsupported shell: " + shell + " (expected bash, zsh or fish)");
+        };
+    }
+
+    private static String posixWrapper(String[] launch) {
+        StringBuilder command = new StringBuilder();
+        for (String part : launch) {
+            command.append(posixQuote(part)).append(' ');
+        }
+
+        return String.format(
+                """
+                        %s() {
+                            local pm_cd_file pm_status
+                            pm_cd_file="$(mktemp "${TMPDIR:-/tmp}/pm-cd.XXXXXX")" || return
+                            %s--cd-file "$pm_cd_file" "$@"
+                            pm_status=$?
+                            if [ -s "$pm_cd_file" ]; then
+                                cd -- "$(cat -- "$pm_cd_file")" || pm_status=$?
+                            fi
+                            rm -f -- "$pm_cd_file"
+                            return $pm_status
+                        }
+                        """, FUNCTION_NAME, command
+        );
+    }
+
+    private static String fishWrapper(String[] launch) {
+        StringBuilder command = new StringBuilder();
+        for (String part : launch) {
+            command.append(fishQuote(part)).append(' ');
+        }
+
+        return String.format(
+                """
+                        function %s
+                            set -l pm_cd_file (mktemp)
+                            or return
+                            %s--cd-file $pm_cd_file $argv
+                            set -l pm_status $status
+                            if test -s $pm_cd_file
+                                cd -- (cat -- $pm_cd_file | string collect)
+                                or set pm_status $status
+                            end
+                            rm -f -- $pm_cd_file
+                            return $pm_status
+                        end
+                        """, FUNCTION_NAME, command
+        );
+    }
+
+    private static String[] launchCommand() {
+        String java = ProcessHandle.current().info().command().orElse("java");
+
+        Path location;
+        try {
+            location = Paths.get(ProjectManager.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException | NullPointerException e) {
+            return new String[]{java, ProjectManager.class.getName()};
+        }
+
+        String absolute = location.toAbsolutePath().toString();
+        if (absolute.endsWith(".jar")) {
+            return new String[]{java, "-jar", absolute};
+        }
+        return new String[]{java, "-cp", absolute, ProjectManager.class.getName()};
+    }
+
+    static String posixQuote(String value) {
+        return "'" + value.replace("'", "'\\''") + "'";
+    }
+
+    static String fishQuote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}